@@ -53,6 +53,9 @@ public class BundleMojo extends AbstractMojo {
     @Parameter
     private List<String> nativeLibraries = null;
 
+    @Parameter
+    private boolean generateManifest = false;
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
         this.plistVariables.putIfAbsent("CFBundleDisplayName", this.project.getName());
@@ -68,7 +71,8 @@ public class BundleMojo extends AbstractMojo {
         File appDirectory = new File(targetDirectory, appName + ".app");
         this.getLog().info("Creating app directory at: " + appDirectory.getAbsolutePath());
         appDirectory.mkdirs();
-        AppGenerator appGenerator = new AppGenerator(this.plistVariables, this.bundleJre, this.additionalResources, this.nativeLibraries, this.getLog());
+        File manifestFile = this.generateManifest ? new File(targetDirectory, appDirectory.getName() + ".manifest") : null;
+        AppGenerator appGenerator = new AppGenerator(this.plistVariables, this.bundleJre, this.additionalResources, this.nativeLibraries, manifestFile, this.getLog());
         appGenerator.generateApp(this.project, appDirectory);
     }
 }
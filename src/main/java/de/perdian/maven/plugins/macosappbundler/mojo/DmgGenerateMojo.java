@@ -66,8 +66,9 @@ public class DmgGenerateMojo extends AbstractMojo {
         dmgFileName = dmgFileName + ".dmg";
 
         File dmgFile = new File(targetDirectory, dmgFileName);
+        File manifestFile = this.dmg.generateManifest ? new File(targetDirectory, dmgFileName + ".manifest") : null;
         DmgGenerator dmgGenerator = new DmgGenerator(this.dmg, appName, this.getLog());
-        dmgGenerator.generateDmg(this.project, appDirectory, bundleDirectory, dmgFile);
+        dmgGenerator.generateDmg(this.project, appDirectory, bundleDirectory, dmgFile, manifestFile);
 
     }
 
@@ -0,0 +1,56 @@
+/*
+ * macOS app bundler Maven plugin
+ * Copyright 2019 Christian Robert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.perdian.maven.plugins.macosappbundler.mojo;
+
+import de.perdian.maven.plugins.macosappbundler.mojo.impl.ManifestVerifier;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.*;
+
+import java.io.File;
+
+/**
+ * Verify an application bundle or a mounted disk image against an integrity manifest created by the bundle or
+ * diskimage goal.
+ */
+
+@Mojo(name = "verify", requiresProject = false)
+public class VerifyMojo extends AbstractMojo {
+
+    @Parameter(property = "macosappbundler.directory", required = true)
+    private File directory = null;
+
+    @Parameter(property = "macosappbundler.manifestFile", required = true)
+    private File manifestFile = null;
+
+    @Parameter(property = "macosappbundler.verifyModes", defaultValue = "true")
+    private boolean verifyModes = true;
+
+    @Parameter(property = "macosappbundler.failOnUnexpectedFiles", defaultValue = "true")
+    private boolean failOnUnexpectedFiles = true;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (!this.directory.isDirectory()) {
+            throw new MojoExecutionException("Directory to verify does not exist: " + this.directory.getAbsolutePath());
+        }
+        ManifestVerifier manifestVerifier = new ManifestVerifier(this.verifyModes, this.failOnUnexpectedFiles, this.getLog());
+        manifestVerifier.verify(this.directory, this.manifestFile);
+    }
+
+}
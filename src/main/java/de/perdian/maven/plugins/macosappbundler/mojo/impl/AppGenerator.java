@@ -45,17 +45,34 @@ public class AppGenerator {
     private final String bundleJre;
     private final List<String> additionalResources;
     private final List<String> nativeLibraries;
+    private final File manifestFile;
     private final Log log;
+    private ManifestGenerator manifestGenerator = null;
 
-    public AppGenerator(Map<String, String> plistVariables, String bundleJre, List<String> additionalResources, List<String> nativeLibraries, Log log) {
+    public AppGenerator(Map<String, String> plistVariables, String bundleJre, List<String> additionalResources, List<String> nativeLibraries, File manifestFile, Log log) {
         this.plistVariables = plistVariables;
         this.bundleJre = bundleJre;
         this.additionalResources = additionalResources;
         this.nativeLibraries = nativeLibraries;
+        this.manifestFile = manifestFile;
         this.log = log;
     }
 
     public void generateApp(MavenProject project, File appDirectory) throws MojoExecutionException {
+        if (this.manifestFile != null) {
+            try (ManifestGenerator manifestGenerator = new ManifestGenerator(appDirectory, this.getLog())) {
+                this.manifestGenerator = manifestGenerator;
+                this.generateAppContents(project, appDirectory);
+                manifestGenerator.writeManifest(this.manifestFile);
+            } finally {
+                this.manifestGenerator = null;
+            }
+        } else {
+            this.generateAppContents(project, appDirectory);
+        }
+    }
+
+    private void generateAppContents(MavenProject project, File appDirectory) throws MojoExecutionException {
         this.copyApplicationDependencies(project, new File(appDirectory, "Contents/Java"));
         this.copyNativeExecutable(new File(appDirectory, "Contents/MacOS"));
         if (this.bundleJre != null) {
@@ -75,7 +92,9 @@ public class AppGenerator {
             File resource = new File(filename);
             if (resource.exists()) {
                 try {
-                    FileUtils.copyFile(resource, new File(resourcesDirectory, resource.getName()));
+                    File targetFile = new File(resourcesDirectory, resource.getName());
+                    FileUtils.copyFile(resource, targetFile);
+                    this.submitManifestFile(targetFile);
                 } catch (IOException exception) {
                     throw new MojoExecutionException("Cannot copy additional resource", exception);
                 }
@@ -90,7 +109,9 @@ public class AppGenerator {
             File resource = new File(filename);
             if (resource.exists()) {
                 try {
-                    FileUtils.copyFile(resource, new File(resourcesDirectory, resource.getName()));
+                    File targetFile = new File(resourcesDirectory, resource.getName());
+                    FileUtils.copyFile(resource, targetFile);
+                    this.submitManifestFile(targetFile);
                 } catch (IOException exception) {
                     throw new MojoExecutionException("Cannot copy native library", exception);
                 }
@@ -130,6 +151,7 @@ public class AppGenerator {
             targetFile.getParentFile().mkdirs();
         }
         FileUtils.copyFile(artifact.getFile(), targetFile);
+        this.submitManifestFile(targetFile);
     }
 
     private void copyModuleApplicationDependencies(MavenProject project, File modulesDirectory)
@@ -151,6 +173,7 @@ public class AppGenerator {
             targetFile.getParentFile().mkdirs();
         }
         FileUtils.copyFile(artifact.getFile(), targetFile);
+        this.submitManifestFile(targetFile);
     }
 
     private void copyNativeExecutable(File targetDirectory) throws MojoExecutionException {
@@ -166,6 +189,7 @@ public class AppGenerator {
                     FileUtils.copyToFile(nativeExecutableStream, targetFile);
                 }
                 targetFile.setExecutable(true);
+                this.submitManifestFile(targetFile);
             }
         } catch (IOException e) {
             throw new MojoExecutionException("Cannot copy native executable", e);
@@ -178,6 +202,9 @@ public class AppGenerator {
 
             try {
                 FileUtils.copyDirectory(sourceDirectory, targetDirectory);
+                if (this.manifestGenerator != null) {
+                    this.manifestGenerator.submitDirectory(targetDirectory);
+                }
             } catch (IOException exception) {
                 throw new MojoExecutionException(
                         MessageFormat.format("Failed to bundle JRE because the JRE could not be copied: {0}",
@@ -201,6 +228,7 @@ public class AppGenerator {
             plistVariables.put(CF_BUNDLE_ICON_FILE, this.copyIcon(contentsDirectory));
 
             FileUtils.write(plistFile, this.toXmlString(project, plistVariables), "UTF-8");
+            this.submitManifestFile(plistFile);
         } catch (Exception e) {
             throw new MojoExecutionException("Cannot generate Info.plist file", e);
         }
@@ -247,6 +275,7 @@ public class AppGenerator {
                 }
                 try {
                     FileUtils.copyFile(iconFile, targetFile);
+                    this.submitManifestFile(targetFile);
                     return targetFile.getName();
                 } catch (IOException e) {
                     throw new MojoExecutionException(
@@ -258,6 +287,12 @@ public class AppGenerator {
         }
     }
 
+    private void submitManifestFile(File file) {
+        if (this.manifestGenerator != null) {
+            this.manifestGenerator.submitFile(file);
+        }
+    }
+
     private Log getLog() {
         return this.log;
     }
@@ -64,7 +64,20 @@ public class DmgGenerator {
         this.log = log;
     }
 
-    public void generateDmg(MavenProject project, File appDirectory, File bundleDirectory, File dmgFile) throws MojoExecutionException {
+    public void generateDmg(MavenProject project, File appDirectory, File bundleDirectory, File dmgFile, File manifestFile) throws MojoExecutionException {
+        if (manifestFile != null) {
+            try (ManifestGenerator manifestGenerator = new ManifestGenerator(bundleDirectory, this.getLog())) {
+                this.copyBundleContents(project, appDirectory, bundleDirectory, manifestGenerator);
+                manifestGenerator.writeManifest(manifestFile);
+            }
+        } else {
+            this.copyBundleContents(project, appDirectory, bundleDirectory, null);
+        }
+        this.getLog().info("Generating DMG archive");
+        this.generateDmgArchive(bundleDirectory, dmgFile);
+    }
+
+    private void copyBundleContents(MavenProject project, File appDirectory, File bundleDirectory, ManifestGenerator manifestGenerator) throws MojoExecutionException {
 
         try {
             File bundleAppDirectory = new File(bundleDirectory, appDirectory.getName());
@@ -75,6 +88,9 @@ public class DmgGenerator {
                 Path targetPathRelative = appDirectory.toPath().relativize(sourcePathAbsolute);
                 Path targetPathAbsolute = bundleAppDirectory.toPath().resolve(targetPathRelative);
                 Files.copy(sourcePathAbsolute, targetPathAbsolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+                if (manifestGenerator != null && !Files.isDirectory(targetPathAbsolute)) {
+                    manifestGenerator.submitFile(targetPathAbsolute.toFile());
+                }
             }
         } catch (IOException e) {
             this.getLog().error("Cannot copy app directory", e);
@@ -83,7 +99,7 @@ public class DmgGenerator {
 
         if (this.getDmgConfiguration().additionalResources != null && !this.getDmgConfiguration().additionalResources.isEmpty()) {
             this.getLog().info("Copy additional resources");
-            this.copyAdditionalDmgResources(project, this.getDmgConfiguration().additionalResources, bundleDirectory);
+            this.copyAdditionalDmgResources(project, this.getDmgConfiguration().additionalResources, bundleDirectory, manifestGenerator);
         }
         if (this.getDmgConfiguration().createApplicationsSymlink) {
             this.getLog().info("Create Applications symlink");
@@ -93,8 +109,6 @@ public class DmgGenerator {
                 throw new MojoExecutionException("Cannot create link to Applications folder at: " + new File(bundleDirectory, "Applications").getAbsolutePath(), e);
             }
         }
-        this.getLog().info("Generating DMG archive");
-        this.generateDmgArchive(bundleDirectory, dmgFile);
 
     }
 
@@ -152,7 +166,7 @@ public class DmgGenerator {
         }
     }
 
-    private void copyAdditionalDmgResources(MavenProject project, List<FileSet> additionalResources, File bundleDirectory) throws MojoExecutionException {
+    private void copyAdditionalDmgResources(MavenProject project, List<FileSet> additionalResources, File bundleDirectory, ManifestGenerator manifestGenerator) throws MojoExecutionException {
         try {
             FileSetManager fileSetManager = new FileSetManager();
             for (FileSet fileSet : additionalResources) {
@@ -165,6 +179,9 @@ public class DmgGenerator {
                     File sourceFile = new File(fileSetDirectory, mappedFile.getKey());
                     File targetFile = new File(bundleDirectory, mappedFile.getKey());
                     FileUtils.copyFile(sourceFile, targetFile);
+                    if (manifestGenerator != null) {
+                        manifestGenerator.submitFile(targetFile);
+                    }
                 }
             }
         } catch (Exception e) {
@@ -0,0 +1,157 @@
+/*
+ * macOS app bundler Maven plugin
+ * Copyright 2019 Christian Robert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.perdian.maven.plugins.macosappbundler.mojo.impl;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Set;
+
+/**
+ * A single line of an integrity manifest, describing one file (or symbolic link) inside a bundle.
+ *
+ * Each line has the form {@code <sha256> <size> <mode> <path>}, where the mode uses the octal notation known from
+ * git ({@code 100644}, {@code 100755} or {@code 120777} for symbolic links) and the path is relative to the root
+ * directory of the manifest, separated by forward slashes.
+ */
+
+class ManifestEntry {
+
+    static final String MODE_FILE = "100644";
+    static final String MODE_EXECUTABLE = "100755";
+    static final String MODE_SYMLINK = "120777";
+
+    private static final long MAPPING_CHUNK_SIZE = 64L * 1024L * 1024L;
+
+    private final String path;
+    private final String sha256;
+    private final long size;
+    private final String mode;
+
+    ManifestEntry(String path, String sha256, long size, String mode) {
+        this.path = path;
+        this.sha256 = sha256;
+        this.size = size;
+        this.mode = mode;
+    }
+
+    static ManifestEntry parse(String line) throws IOException {
+        String[] parts = line.split(" ", 4);
+        if (parts.length != 4) {
+            throw new IOException("Invalid manifest line: " + line);
+        }
+        try {
+            return new ManifestEntry(parts[3], parts[0], Long.parseLong(parts[1]), parts[2]);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid size in manifest line: " + line, e);
+        }
+    }
+
+    static String relativePath(Path rootDirectory, Path file) {
+        return rootDirectory.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+    }
+
+    /**
+     * Reads size and mode of the given file and combines them with a previously computed hash.
+     */
+    static ManifestEntry create(Path rootDirectory, Path file, String sha256) throws IOException {
+        if (Files.isSymbolicLink(file)) {
+            return new ManifestEntry(relativePath(rootDirectory, file), sha256, Files.readSymbolicLink(file).toString().getBytes(StandardCharsets.UTF_8).length, MODE_SYMLINK);
+        } else {
+            return new ManifestEntry(relativePath(rootDirectory, file), sha256, Files.size(file), computeMode(file));
+        }
+    }
+
+    static String computeMode(Path file) throws IOException {
+        if (Files.isSymbolicLink(file)) {
+            return MODE_SYMLINK;
+        }
+        try {
+            Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(file, LinkOption.NOFOLLOW_LINKS);
+            return permissions.contains(PosixFilePermission.OWNER_EXECUTE) ? MODE_EXECUTABLE : MODE_FILE;
+        } catch (UnsupportedOperationException e) {
+            return Files.isExecutable(file) ? MODE_EXECUTABLE : MODE_FILE;
+        }
+    }
+
+    /**
+     * Computes the SHA-256 hash of the given file. Regular files are read through memory mapped chunks, so that a
+     * file that has just been written is hashed straight from the page cache. Symbolic links are not followed,
+     * instead the hash is computed over the link target.
+     */
+    static String computeHash(Path file) throws IOException {
+        MessageDigest messageDigest = createMessageDigest();
+        if (Files.isSymbolicLink(file)) {
+            messageDigest.update(Files.readSymbolicLink(file).toString().getBytes(StandardCharsets.UTF_8));
+        } else {
+            try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long fileSize = fileChannel.size();
+                for (long position = 0; position < fileSize; position += MAPPING_CHUNK_SIZE) {
+                    MappedByteBuffer mappedBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAPPING_CHUNK_SIZE, fileSize - position));
+                    messageDigest.update(mappedBuffer);
+                }
+            }
+        }
+        return toHexString(messageDigest.digest());
+    }
+
+    private static MessageDigest createMessageDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String toHexString(byte[] bytes) {
+        StringBuilder hexBuilder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hexBuilder.append(Character.forDigit((b >> 4) & 0xF, 16));
+            hexBuilder.append(Character.forDigit(b & 0xF, 16));
+        }
+        return hexBuilder.toString();
+    }
+
+    String toLine() {
+        return this.getSha256() + " " + this.getSize() + " " + this.getMode() + " " + this.getPath();
+    }
+
+    String getPath() {
+        return this.path;
+    }
+
+    String getSha256() {
+        return this.sha256;
+    }
+
+    long getSize() {
+        return this.size;
+    }
+
+    String getMode() {
+        return this.mode;
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * macOS app bundler Maven plugin
+ * Copyright 2019 Christian Robert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.perdian.maven.plugins.macosappbundler.mojo.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Creates an integrity manifest for all files below a root directory.
+ *
+ * Files are handed to the generator as soon as they have been written, so that hashing runs in parallel to the
+ * remaining copy operations. When the manifest is written, the root directory is walked once more and every file
+ * that has not been submitted before is hashed as well, so the manifest always describes the complete directory.
+ */
+
+public class ManifestGenerator implements AutoCloseable {
+
+    private final Path rootDirectory;
+    private final ExecutorService executorService;
+    private final Map<Path, Future<String>> hashFutures = new ConcurrentHashMap<>();
+    private Log log = null;
+
+    public ManifestGenerator(File rootDirectory, Log log) {
+        this.rootDirectory = rootDirectory.toPath().toAbsolutePath().normalize();
+        this.executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "macosappbundler-manifest");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.setLog(log);
+    }
+
+    /**
+     * Schedules the hash computation of a file that has just been written. Submitting the same file again replaces
+     * the previous computation, so that only the final content ends up in the manifest.
+     */
+    public void submitFile(File file) {
+        Path filePath = file.toPath().toAbsolutePath().normalize();
+        Future<String> previousFuture = this.hashFutures.put(filePath, this.executorService.submit(() -> ManifestEntry.computeHash(filePath)));
+        if (previousFuture != null) {
+            previousFuture.cancel(false);
+        }
+    }
+
+    /**
+     * Schedules the hash computation of all files below a directory that has just been written.
+     */
+    public void submitDirectory(File directory) throws MojoExecutionException {
+        try (Stream<Path> files = Files.walk(directory.toPath())) {
+            files.filter(file -> Files.isRegularFile(file) || Files.isSymbolicLink(file)).forEach(file -> this.submitFile(file.toFile()));
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot read directory for manifest: " + directory.getAbsolutePath(), e);
+        }
+    }
+
+    public void writeManifest(File manifestFile) throws MojoExecutionException {
+        this.getLog().info("Generating integrity manifest at: " + manifestFile.getAbsolutePath());
+        try {
+            List<Path> files;
+            try (Stream<Path> fileStream = Files.walk(this.rootDirectory)) {
+                files = fileStream.filter(file -> Files.isRegularFile(file) || Files.isSymbolicLink(file)).sorted().collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                Future<String> hashFuture = this.hashFutures.get(file);
+                if (hashFuture == null || hashFuture.isCancelled()) {
+                    this.submitFile(file.toFile());
+                }
+            }
+            List<String> manifestLines = new ArrayList<>(files.size());
+            for (Path file : files) {
+                String sha256 = this.hashFutures.get(file).get();
+                manifestLines.add(ManifestEntry.create(this.rootDirectory, file, sha256).toLine());
+            }
+            if (manifestFile.getParentFile() != null) {
+                manifestFile.getParentFile().mkdirs();
+            }
+            Files.write(manifestFile.toPath(), manifestLines, StandardCharsets.UTF_8);
+        } catch (ExecutionException e) {
+            throw new MojoExecutionException("Cannot compute hash for integrity manifest", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while generating integrity manifest", e);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot write integrity manifest at: " + manifestFile.getAbsolutePath(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.executorService.shutdownNow();
+    }
+
+    private Log getLog() {
+        return this.log;
+    }
+
+    private void setLog(Log log) {
+        this.log = log;
+    }
+
+}
@@ -0,0 +1,186 @@
+/*
+ * macOS app bundler Maven plugin
+ * Copyright 2019 Christian Robert
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.perdian.maven.plugins.macosappbundler.mojo.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Verifies the content of an application bundle or a mounted disk image against an integrity manifest created by
+ * the {@link ManifestGenerator}.
+ *
+ * All entries are checked in parallel. As soon as the first mismatch is detected all pending checks are cancelled
+ * and the mismatch is reported.
+ */
+
+public class ManifestVerifier {
+
+    /**
+     * Files that macOS creates at the root of a mounted volume and that are never part of a manifest.
+     */
+    private static final Set<String> VOLUME_METADATA_FILES = new HashSet<>(Arrays.asList(".fseventsd", ".Trashes", ".Spotlight-V100", ".TemporaryItems"));
+
+    private boolean verifyModes = true;
+    private boolean failOnUnexpectedFiles = true;
+    private Log log = null;
+
+    public ManifestVerifier(boolean verifyModes, boolean failOnUnexpectedFiles, Log log) {
+        this.setVerifyModes(verifyModes);
+        this.setFailOnUnexpectedFiles(failOnUnexpectedFiles);
+        this.setLog(log);
+    }
+
+    public void verify(File rootDirectory, File manifestFile) throws MojoExecutionException, MojoFailureException {
+
+        List<ManifestEntry> manifestEntries = this.readManifest(manifestFile);
+        Path rootPath = rootDirectory.toPath().toAbsolutePath().normalize();
+        this.getLog().info("Verifying " + manifestEntries.size() + " files at: " + rootPath + " against manifest: " + manifestFile.getAbsolutePath());
+        this.verifyNoUnexpectedFiles(rootPath, manifestEntries);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            CompletionService<String> completionService = new ExecutorCompletionService<>(executorService);
+            for (ManifestEntry manifestEntry : manifestEntries) {
+                completionService.submit(() -> this.verifyEntry(rootPath, manifestEntry));
+            }
+            for (int i = 0; i < manifestEntries.size(); i++) {
+                String mismatch = completionService.take().get();
+                if (mismatch != null) {
+                    throw new MojoFailureException("Integrity check failed for " + rootPath + ": " + mismatch);
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new MojoExecutionException("Cannot verify integrity manifest", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while verifying integrity manifest", e);
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        this.getLog().info("Integrity check passed for: " + rootPath);
+
+    }
+
+    private List<ManifestEntry> readManifest(File manifestFile) throws MojoExecutionException {
+        try {
+            List<String> manifestLines = Files.readAllLines(manifestFile.toPath(), StandardCharsets.UTF_8);
+            List<ManifestEntry> manifestEntries = new ArrayList<>(manifestLines.size());
+            for (String manifestLine : manifestLines) {
+                if (!manifestLine.isEmpty()) {
+                    manifestEntries.add(ManifestEntry.parse(manifestLine));
+                }
+            }
+            return manifestEntries;
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot read integrity manifest at: " + manifestFile.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Checks a single entry, returning a description of the mismatch or {@code null} if the file matches. Size and
+     * mode are compared first so that the expensive hash computation is only done for plausible candidates.
+     */
+    private String verifyEntry(Path rootPath, ManifestEntry expectedEntry) throws IOException {
+        Path file = rootPath.resolve(expectedEntry.getPath());
+        if (!Files.isSymbolicLink(file) && !Files.isRegularFile(file)) {
+            return "Missing file: " + expectedEntry.getPath();
+        }
+        String actualMode = ManifestEntry.computeMode(file);
+        boolean expectedSymlink = ManifestEntry.MODE_SYMLINK.equals(expectedEntry.getMode());
+        if (expectedSymlink != ManifestEntry.MODE_SYMLINK.equals(actualMode)) {
+            return "File type differs for: " + expectedEntry.getPath();
+        } else if (this.isVerifyModes() && !expectedEntry.getMode().equals(actualMode)) {
+            return "Mode differs for: " + expectedEntry.getPath() + " (expected " + expectedEntry.getMode() + ", found " + actualMode + ")";
+        }
+        ManifestEntry actualEntry = ManifestEntry.create(rootPath, file, null);
+        if (actualEntry.getSize() != expectedEntry.getSize()) {
+            return "Size differs for: " + expectedEntry.getPath() + " (expected " + expectedEntry.getSize() + ", found " + actualEntry.getSize() + ")";
+        } else if (!expectedEntry.getSha256().equals(ManifestEntry.computeHash(file))) {
+            return "SHA-256 differs for: " + expectedEntry.getPath();
+        } else {
+            return null;
+        }
+    }
+
+    private void verifyNoUnexpectedFiles(Path rootPath, List<ManifestEntry> manifestEntries) throws MojoExecutionException, MojoFailureException {
+        Set<String> expectedPaths = manifestEntries.stream().map(ManifestEntry::getPath).collect(Collectors.toSet());
+        List<String> unexpectedPaths;
+        try (Stream<Path> files = Files.walk(rootPath)) {
+            unexpectedPaths = files
+                .filter(file -> Files.isRegularFile(file) || Files.isSymbolicLink(file))
+                .filter(file -> !VOLUME_METADATA_FILES.contains(rootPath.relativize(file).getName(0).toString()))
+                .map(file -> ManifestEntry.relativePath(rootPath, file))
+                .filter(path -> !expectedPaths.contains(path))
+                .sorted()
+                .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new MojoExecutionException("Cannot read directory for verification: " + rootPath, e);
+        }
+        if (!unexpectedPaths.isEmpty()) {
+            if (this.isFailOnUnexpectedFiles()) {
+                throw new MojoFailureException("Integrity check failed for " + rootPath + ": Unexpected file: " + unexpectedPaths.get(0));
+            } else {
+                unexpectedPaths.forEach(path -> this.getLog().warn("File not contained in integrity manifest: " + path));
+            }
+        }
+    }
+
+    private boolean isVerifyModes() {
+        return this.verifyModes;
+    }
+
+    private void setVerifyModes(boolean verifyModes) {
+        this.verifyModes = verifyModes;
+    }
+
+    private boolean isFailOnUnexpectedFiles() {
+        return this.failOnUnexpectedFiles;
+    }
+
+    private void setFailOnUnexpectedFiles(boolean failOnUnexpectedFiles) {
+        this.failOnUnexpectedFiles = failOnUnexpectedFiles;
+    }
+
+    private Log getLog() {
+        return this.log;
+    }
+
+    private void setLog(Log log) {
+        this.log = log;
+    }
+
+}
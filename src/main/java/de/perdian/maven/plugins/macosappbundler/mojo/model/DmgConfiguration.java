@@ -41,4 +41,7 @@ public class DmgConfiguration {
     @Parameter
     public String dmgFileName = null;
 
+    @Parameter
+    public boolean generateManifest = false;
+
 }